@@ -0,0 +1,90 @@
+package com.biggturkk.pohstorage;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Set;
+
+/**
+ * Answers bank search filter queries for storable items not yet in the POH. The bank runs the filter per slot
+ * on every keystroke, so lookups are a single array read against a precomputed StorageType bitmask.
+ */
+@Singleton
+public class POHBankFilter {
+    public static final String KEYWORD = "poh:";
+
+    private static final int ALL_TYPES = (1 << StorageType.values().length) - 1;
+
+    private final POHStorageItemManager itemManager;
+
+    // StorageType bitmask of storable items missing from the POH, indexed by item ID
+    private volatile int[] missingMasks;
+
+    // Last parsed query, reused for every slot of the same search
+    private String lastQuery;
+    private int lastQueryMask;
+
+    @Inject
+    public POHBankFilter(POHStorageItemManager itemManager) {
+        this.itemManager = itemManager;
+        this.missingMasks = itemManager.getStorageMasks();
+    }
+
+    /**
+     * Rebuilds the lookup table from the catalog, dropping items already stored in the POH.
+     */
+    public void rebuild(Set<Integer> storedItems) {
+        int[] masks = itemManager.getStorageMasks();
+        for (int itemId : storedItems) {
+            if (itemId >= 0 && itemId < masks.length) {
+                masks[itemId] = 0;
+            }
+        }
+        missingMasks = masks;
+    }
+
+    public boolean isFilterQuery(String query) {
+        return query != null && query.regionMatches(true, 0, KEYWORD, 0, KEYWORD.length());
+    }
+
+    /**
+     * @return true if the item is storable in a storage type selected by the query and not yet in the POH
+     */
+    public boolean matches(int itemId, String query) {
+        return (getMissingMask(itemId) & getQueryMask(query)) != 0;
+    }
+
+    /**
+     * @return true if the item is storable anywhere in the POH and not yet stored
+     */
+    public boolean isMissing(int itemId) {
+        return getMissingMask(itemId) != 0;
+    }
+
+    private int getMissingMask(int itemId) {
+        int[] masks = missingMasks;
+        return itemId >= 0 && itemId < masks.length ? masks[itemId] : 0;
+    }
+
+    int getQueryMask(String query) {
+        if (query.equals(lastQuery)) {
+            return lastQueryMask;
+        }
+
+        // "poh:" selects every storage type, "poh:cape" selects types whose name contains "cape"
+        String term = query.substring(KEYWORD.length()).trim().toLowerCase();
+        int mask = 0;
+        if (term.isEmpty()) {
+            mask = ALL_TYPES;
+        } else {
+            for (StorageType type : StorageType.values()) {
+                if (type.name().replace("_", " ").toLowerCase().contains(term)) {
+                    mask |= type.mask();
+                }
+            }
+        }
+
+        lastQuery = query;
+        lastQueryMask = mask;
+        return mask;
+    }
+}
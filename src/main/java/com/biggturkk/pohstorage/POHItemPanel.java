@@ -3,7 +3,8 @@ package com.biggturkk.pohstorage;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.PluginPanel;
 import net.runelite.client.game.ItemManager;
-import net.runelite.client.callback.ClientThread;
+import net.runelite.client.util.AsyncBufferedImage;
+import net.runelite.client.util.ImageUtil;
 
 import javax.inject.Inject;
 import javax.swing.*;
@@ -11,10 +12,13 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.DefaultTreeModel;
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
 
 public class POHItemPanel extends PluginPanel {
     private JTree tree;
@@ -22,7 +26,8 @@ public class POHItemPanel extends PluginPanel {
     private final POHStoragePlugin plugin;
     private final POHStorageItemManager itemManager;
     private final ItemManager itemManagerService;
-    private final ClientThread clientThread;
+    private final POHTaskScheduler taskScheduler;
+    private final ScheduledExecutorService executor;
     private static final int ICON_SIZE = 25; // Consistent icon size for visibility
 
     // Colors for item status
@@ -30,9 +35,9 @@ public class POHItemPanel extends PluginPanel {
     private static final Color COLOR_MISSING = Color.RED;   // Missing from POH
     private static final Color COLOR_STORED = Color.GREEN;  // In POH storage
 
-    // Icon caches
-    private final Map<Integer, ImageIcon> itemIconCache = new HashMap<>();
-    private final Map<StorageType, ImageIcon> storageIconCache = new HashMap<>();
+    // Icon caches, filled from the worker executor and read by the tree renderer
+    private final Map<Integer, ImageIcon> itemIconCache = new ConcurrentHashMap<>();
+    private final Map<StorageType, ImageIcon> storageIconCache = new ConcurrentHashMap<>();
 
     // Inner class to store item ID with name for tree nodes
     private static class ItemNode {
@@ -65,20 +70,19 @@ public class POHItemPanel extends PluginPanel {
     }
 
     @Inject
-    public POHItemPanel(POHStoragePlugin plugin, POHStorageItemManager itemManager, ItemManager itemManagerService, ClientThread clientThread) {
+    public POHItemPanel(POHStoragePlugin plugin, POHStorageItemManager itemManager, ItemManager itemManagerService,
+                        POHTaskScheduler taskScheduler, ScheduledExecutorService executor) {
         this.plugin = plugin;
         this.itemManager = itemManager;
         this.itemManagerService = itemManagerService;
-        this.clientThread = clientThread;
+        this.taskScheduler = taskScheduler;
+        this.executor = executor;
         setLayout(new BorderLayout());
         setBackground(ColorScheme.DARK_GRAY_COLOR);
         initializePanel();
     }
 
     private void initializePanel() {
-        // Preload icons on client thread
-        clientThread.invokeLater(this::preloadIcons);
-
         // Main panel to hold title and tree
         JPanel mainPanel = new JPanel();
         mainPanel.setLayout(new BorderLayout()); // Changed to BorderLayout for full space usage
@@ -157,41 +161,50 @@ public class POHItemPanel extends PluginPanel {
 
         add(mainPanel, BorderLayout.CENTER);
 
-        // Populate tree on client thread
-        clientThread.invokeLater(this::populateTree);
+        // Preload icons in budgeted chunks, then populate tree off the client thread
+        preloadIcons();
+        populateTree();
     }
 
     private void preloadIcons() {
-        // Cache icons for items in itemStorageMap
-        for (Integer itemId : itemManager.getAllItemIds()) {
+        // One icon per scheduler step; fetching the image needs the client thread, scaling does not
+        taskScheduler.submitEach(itemManager.getAllItemIds(), itemId -> {
             if (itemId > 0 && !itemIconCache.containsKey(itemId)) {
-                BufferedImage image = itemManagerService.getImage(itemId, 1, false);
-                if (image != null) {
-                    Image scaledImage = image.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH);
-                    itemIconCache.put(itemId, new ImageIcon(scaledImage));
-                }
+                loadIcon(itemId, icon -> itemIconCache.put(itemId, icon));
             }
-        }
+        }, null);
 
-        // Cache icons for storage types
-        for (StorageType type : StorageType.values()) {
+        taskScheduler.submitEach(Arrays.asList(StorageType.values()), type -> {
             int itemId = getRepresentativeItemId(type);
             if (itemId > 0 && !storageIconCache.containsKey(type)) {
-                BufferedImage image = itemManagerService.getImage(itemId, 1, false);
-                if (image != null) {
-                    Image scaledImage = image.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH);
-                    storageIconCache.put(type, new ImageIcon(scaledImage));
-                }
+                loadIcon(itemId, icon -> storageIconCache.put(type, icon));
             }
+        }, null);
+    }
+
+    private void loadIcon(int itemId, Consumer<ImageIcon> cache) {
+        AsyncBufferedImage image = itemManagerService.getImage(itemId, 1, false);
+        if (image == null) {
+            return;
         }
+        image.onLoaded(() -> executor.execute(() -> {
+            cache.accept(new ImageIcon(ImageUtil.resizeImage(image, ICON_SIZE, ICON_SIZE)));
+            tree.repaint();
+        }));
     }
 
     public void populateTree() {
-        tree.setModel(createTreeModel());
-        // Collapse all nodes initially
-        for (int i = 0; i < tree.getRowCount(); i++) {
-            tree.collapseRow(i);
-        }
+        // Build the model on the worker executor, swap it in on the EDT
+        executor.execute(() -> {
+            DefaultTreeModel model = createTreeModel();
+            SwingUtilities.invokeLater(() -> {
+                tree.setModel(model);
+                // Collapse all nodes initially
+                for (int i = 0; i < tree.getRowCount(); i++) {
+                    tree.collapseRow(i);
+                }
+            });
+        });
     }
 
     private DefaultTreeModel createTreeModel() {
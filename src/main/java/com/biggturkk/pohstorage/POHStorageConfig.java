@@ -3,6 +3,8 @@ package com.biggturkk.pohstorage;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 
 @ConfigGroup("pohstorage")
 public interface POHStorageConfig extends Config
@@ -16,4 +18,41 @@ public interface POHStorageConfig extends Config
     {
         return "Hello";
     }
+
+    @Range(
+            min = 1,
+            max = 16
+    )
+    @Units(Units.MILLISECONDS)
+    @ConfigItem(
+            keyName = "taskBudget",
+            name = "Background work budget",
+            description = "Maximum time spent on queued plugin work (icon loading) per tick or frame"
+    )
+    default int taskBudget()
+    {
+        return 2;
+    }
+
+    @ConfigItem(
+            keyName = "taskBudgetPerFrame",
+            name = "Run work every frame",
+            description = "Spend the background work budget every frame instead of every game tick"
+    )
+    default boolean taskBudgetPerFrame()
+    {
+        return true;
+    }
+
+    @ConfigItem(
+            keyName = "pohBankTag",
+            name = "POH bank tag",
+            description = "Adds a 'poh' tag, searchable with tag:poh, holding storable items not yet in your POH.<br>"
+                    + "Create a bank tab named 'poh' to browse it. Requires the Bank Tags plugin.<br>"
+                    + "The poh: bank search (e.g. poh:cape) works regardless of this setting"
+    )
+    default boolean pohBankTag()
+    {
+        return false;
+    }
 }
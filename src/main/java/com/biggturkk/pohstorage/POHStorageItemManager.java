@@ -15,6 +15,8 @@ import java.util.*;
 public class POHStorageItemManager {
     private final Map<Integer, List<StorageType>> itemStorageMap = new HashMap<>();
     private final Map<StorageType, Map<String, List<ItemEntry>>> itemsBySet = new HashMap<>();
+    // StorageType bitmask indexed by item ID, for per-slot lookups without map boxing
+    private int[] storageMasks = new int[0];
 
     @Getter
     public static class ItemEntry {
@@ -71,6 +73,8 @@ public class POHStorageItemManager {
                 }
             }
 
+            buildStorageMasks();
+
             log.info("✅ Successfully loaded storable_items.json");
             log.info("📦 Loaded {} total unique item IDs", itemStorageMap.size());
             log.info("🧾 Item ID List: {}", itemStorageMap.keySet());
@@ -78,13 +82,38 @@ public class POHStorageItemManager {
             log.error("❌ Failed to load storable_items.json", ex);
             itemStorageMap.clear();
             itemsBySet.clear();
+            storageMasks = new int[0];
         }
     }
 
+    private void buildStorageMasks() {
+        int maxId = 0;
+        for (int itemId : itemStorageMap.keySet()) {
+            maxId = Math.max(maxId, itemId);
+        }
+        int[] masks = new int[maxId + 1];
+        for (Map.Entry<Integer, List<StorageType>> entry : itemStorageMap.entrySet()) {
+            if (entry.getKey() < 0) {
+                continue;
+            }
+            for (StorageType type : entry.getValue()) {
+                masks[entry.getKey()] |= type.mask();
+            }
+        }
+        storageMasks = masks;
+    }
+
     public List<StorageType> getStoragesForItem(int itemId) {
         return itemStorageMap.getOrDefault(itemId, Collections.emptyList());
     }
 
+    /**
+     * @return a copy of the StorageType bitmask table, indexed by item ID
+     */
+    public int[] getStorageMasks() {
+        return storageMasks.clone();
+    }
+
     public List<Integer> getAllItemIds() {
         return new ArrayList<>(itemStorageMap.keySet());
     }
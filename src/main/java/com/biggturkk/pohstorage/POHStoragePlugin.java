@@ -6,27 +6,35 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.GameTick;
 import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.ScriptCallbackEvent;
 import net.runelite.api.events.WidgetClosed;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.GameState;
 import net.runelite.api.widgets.Widget;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.events.PluginChanged;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
+import net.runelite.client.plugins.PluginManager;
+import net.runelite.client.plugins.banktags.BankTagsPlugin;
+import net.runelite.client.plugins.banktags.TagManager;
 import net.runelite.client.ui.ClientToolbar;
 import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.ui.overlay.components.LineComponent;
 import net.runelite.client.util.ImageUtil;
-import net.runelite.client.callback.ClientThread;
 
 import javax.inject.Inject;
 import java.awt.image.BufferedImage;
 import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
 
 @Slf4j
 @PluginDescriptor(
@@ -35,6 +43,8 @@ import java.util.*;
         tags = {"bank", "storage", "poh", "utility", "inventory"}
 )
 public class POHStoragePlugin extends Plugin {
+    private static final String BANK_TAG = "poh";
+
     @Inject
     private Client client;
 
@@ -57,7 +67,19 @@ public class POHStoragePlugin extends Plugin {
     private ClientToolbar clientToolbar;
 
     @Inject
-    private ClientThread clientThread;
+    private POHTaskScheduler taskScheduler;
+
+    @Inject
+    private ScheduledExecutorService executor;
+
+    @Inject
+    private POHBankFilter bankFilter;
+
+    @Inject
+    private PluginManager pluginManager;
+
+    // Bank Tags' tag manager while our tag is registered with it
+    private TagManager tagManager;
 
     @Getter
     private final List<LineComponent> renderedLines = new ArrayList<>();
@@ -84,7 +106,7 @@ public class POHStoragePlugin extends Plugin {
                 .build());
 
         // Initialize and add the item panel
-        itemPanel = new POHItemPanel(this, storageItemManager, itemManager, clientThread);
+        itemPanel = new POHItemPanel(this, storageItemManager, itemManager, taskScheduler, executor);
         BufferedImage icon = ImageUtil.loadImageResource(getClass(), "/icon.png");
         navButton = NavigationButton.builder()
                 .tooltip("POH Storage Panel")
@@ -95,12 +117,19 @@ public class POHStoragePlugin extends Plugin {
         clientToolbar.addNavigation(navButton);
 
         overlayManager.add(overlay);
+
+        bankFilter.rebuild(pohStoredItems);
+        updateBankTag();
     }
 
     @Override
     protected void shutDown() {
         overlayManager.remove(overlay);
+        unregisterBankTag();
         clientToolbar.removeNavigation(navButton);
+        log.debug("Task scheduler: {} queued, {} budget overruns, max overrun {}ns",
+                taskScheduler.getQueueDepth(), taskScheduler.getOverrunCount(), taskScheduler.getMaxOverrunNanos());
+        taskScheduler.clear();
         renderedLines.clear();
         pohStoredItems.clear();
         bankAndInventoryItems.clear();
@@ -114,7 +143,7 @@ public class POHStoragePlugin extends Plugin {
         if (containerId == 95 || containerId == 93) { // Bank (95) or Inventory (93)
             log.info("Bank or inventory updated: processing items");
             updateBankAndInventoryItems();
-            clientThread.invokeLater(itemPanel::populateTree); // Refresh panel
+            itemPanel.populateTree(); // Refresh panel
         }
     }
 
@@ -123,7 +152,7 @@ public class POHStoragePlugin extends Plugin {
         if (event.getGroupId() == 116) { // Costume Room widget group
             log.info("POH storage interface loaded");
             updatePOHStoredItems();
-            clientThread.invokeLater(itemPanel::populateTree); // Refresh panel
+            itemPanel.populateTree(); // Refresh panel
         }
     }
 
@@ -148,14 +177,92 @@ public class POHStoragePlugin extends Plugin {
             renderedLines.clear();
             pohStoredItems.clear();
             bankAndInventoryItems.clear();
-            clientThread.invokeLater(itemPanel::populateTree);
+            bankFilter.rebuild(pohStoredItems);
+            itemPanel.populateTree();
+        }
+    }
+
+    @Subscribe
+    public void onScriptCallbackEvent(ScriptCallbackEvent event) {
+        if (!"bankSearchFilter".equals(event.getEventName())) {
+            return;
+        }
+
+        int[] intStack = client.getIntStack();
+        int intStackSize = client.getIntStackSize();
+        String[] stringStack = client.getStringStack();
+        int stringStackSize = client.getStringStackSize();
+
+        String search = stringStack[stringStackSize - 1];
+        if (!bankFilter.isFilterQuery(search)) {
+            return;
+        }
+
+        int itemId = intStack[intStackSize - 1];
+        intStack[intStackSize - 2] = bankFilter.matches(itemId, search) ? 1 : 0;
+    }
+
+    @Subscribe
+    public void onConfigChanged(ConfigChanged event) {
+        if ("pohstorage".equals(event.getGroup()) && "pohBankTag".equals(event.getKey())) {
+            updateBankTag();
+        }
+    }
+
+    @Subscribe
+    public void onPluginChanged(PluginChanged event) {
+        if (!(event.getPlugin() instanceof BankTagsPlugin)) {
+            return;
+        }
+        if (event.isLoaded()) {
+            updateBankTag();
+        } else {
+            // The TagManager outlives a Bank Tags restart, so drop our tag from it rather than forgetting it
+            unregisterBankTag();
+        }
+    }
+
+    /**
+     * Registers the poh tag if enabled and Bank Tags is running. Bank Tags is looked up at runtime rather than
+     * declared as a plugin dependency, so the tag stays optional and doesn't force Bank Tags on.
+     */
+    private void updateBankTag() {
+        unregisterBankTag();
+        if (!config.pohBankTag()) {
+            return;
+        }
+        for (Plugin plugin : pluginManager.getPlugins()) {
+            if (plugin instanceof BankTagsPlugin && pluginManager.isPluginActive(plugin) && plugin.getInjector() != null) {
+                tagManager = plugin.getInjector().getInstance(TagManager.class);
+                tagManager.registerTag(BANK_TAG, bankFilter::isMissing);
+            }
+        }
+    }
+
+    private void unregisterBankTag() {
+        if (tagManager != null) {
+            tagManager.unregisterTag(BANK_TAG);
+            tagManager = null;
+        }
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        if (!config.taskBudgetPerFrame()) {
+            taskScheduler.runSlice(config.taskBudget());
+        }
+    }
+
+    @Subscribe
+    public void onBeforeRender(BeforeRender event) {
+        if (config.taskBudgetPerFrame()) {
+            taskScheduler.runSlice(config.taskBudget());
         }
     }
 
     private void updatePOHStoredItems() {
-        pohStoredItems.clear();
         // Map StorageType to widget child IDs (placeholders, verify in-game)
-        Map<StorageType, Integer> storageWidgetIds = new HashMap<>();
+        Map<StorageType, Integer> storageWidgetIds = new EnumMap<>(StorageType.class);
         storageWidgetIds.put(StorageType.ARMOUR_CASE, 10);
         storageWidgetIds.put(StorageType.TOY_BOX, 11);
         storageWidgetIds.put(StorageType.MAGIC_WARDROBE, 12);
@@ -163,43 +270,45 @@ public class POHStoragePlugin extends Plugin {
         storageWidgetIds.put(StorageType.TREASURE_CHEST, 14);
         storageWidgetIds.put(StorageType.FANCY_DRESS_BOX, 15);
 
-        // Log all widgets in group 116 for debugging
+        // Log all widgets in group 116 for debugging, one child per scheduler step
         Widget costumeRoomWidget = client.getWidget(116, 0);
         if (costumeRoomWidget != null) {
             log.info("Costume Room (group 116) widgets found. Dumping child IDs:");
             Widget[] children = costumeRoomWidget.getChildren();
             if (children != null) {
-                for (int i = 0; i < children.length; i++) {
-                    if (children[i] != null) {
-                        log.info("Widget 116,{}: ID={}, ItemID={}", i, children[i].getId(), children[i].getItemId());
+                taskScheduler.submitEach(Arrays.asList(children), child -> {
+                    if (child != null) {
+                        log.info("Widget 116,{}: ID={}, ItemID={}", child.getIndex(), child.getId(), child.getItemId());
                     }
-                }
+                }, null);
             }
         } else {
             log.warn("Costume Room widget (group 116) not found");
         }
 
-        for (StorageType type : StorageType.values()) {
-            Integer widgetId = storageWidgetIds.get(type);
-            if (widgetId != null) {
-                Widget storageWidget = client.getWidget(116, widgetId);
-                if (storageWidget != null) {
-                    Widget[] items = storageWidget.getChildren();
-                    if (items != null) {
-                        for (Widget itemWidget : items) {
-                            if (itemWidget != null && itemWidget.getItemId() > 0) {
-                                pohStoredItems.add(itemWidget.getItemId());
-                            }
+        // Reading the storage widgets is cheap, so it stays synchronous
+        pohStoredItems.clear();
+        for (Map.Entry<StorageType, Integer> entry : storageWidgetIds.entrySet()) {
+            StorageType type = entry.getKey();
+            int widgetId = entry.getValue();
+            Widget storageWidget = client.getWidget(116, widgetId);
+            if (storageWidget != null) {
+                Widget[] items = storageWidget.getChildren();
+                if (items != null) {
+                    for (Widget itemWidget : items) {
+                        if (itemWidget != null && itemWidget.getItemId() > 0) {
+                            pohStoredItems.add(itemWidget.getItemId());
                         }
-                    } else {
-                        log.warn("No items found for storage type {} (widget 116,{})", type, widgetId);
                     }
                 } else {
-                    log.warn("Widget not found for storage type {} (widget 116,{})", type, widgetId);
+                    log.warn("No items found for storage type {} (widget 116,{})", type, widgetId);
                 }
+            } else {
+                log.warn("Widget not found for storage type {} (widget 116,{})", type, widgetId);
             }
         }
         log.debug("Updated POH stored items: {}", pohStoredItems);
+        bankFilter.rebuild(pohStoredItems);
     }
 
     private void updateBankAndInventoryItems() {
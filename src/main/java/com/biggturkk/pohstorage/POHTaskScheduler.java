@@ -0,0 +1,138 @@
+package com.biggturkk.pohstorage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Cooperative scheduler for client thread work. Tasks are split into small resumable steps
+ * and drained within a fixed time budget each game tick or frame, so heavy jobs never stall
+ * a single frame.
+ */
+@Slf4j
+@Singleton
+public class POHTaskScheduler {
+    /**
+     * A unit of resumable work. Each call to {@link #step()} should do a small, bounded amount of work.
+     */
+    @FunctionalInterface
+    public interface Task {
+        /**
+         * @return true once the task has finished and can be removed from the queue
+         */
+        boolean step();
+    }
+
+    // Overshoot past the budget, as a fraction of it, tolerated before a slice counts as an overrun
+    private static final int OVERRUN_TOLERANCE_DIVISOR = 4;
+
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+    private final LongSupplier nanoClock;
+
+    // Metrics, written on the client thread and read from any thread
+    private final AtomicLong overrunCount = new AtomicLong();
+    private final AtomicLong maxOverrunNanos = new AtomicLong();
+
+    @Inject
+    public POHTaskScheduler() {
+        this(System::nanoTime);
+    }
+
+    POHTaskScheduler(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Queues a task. Safe to call from any thread; the task itself only ever runs on the client thread.
+     */
+    public void submit(Task task) {
+        queue.add(task);
+    }
+
+    /**
+     * Queues a task which processes one element of {@code items} per step, then runs {@code onComplete}.
+     */
+    public <T> void submitEach(Iterable<T> items, Consumer<T> action, Runnable onComplete) {
+        Iterator<T> iterator = items.iterator();
+        submit(() -> {
+            if (iterator.hasNext()) {
+                action.accept(iterator.next());
+                return false;
+            }
+            if (onComplete != null) {
+                onComplete.run();
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Runs queued tasks until the queue is empty or the budget is spent. Must be called on the client thread.
+     * The last step of a busy slice usually ends past the budget; that overshoot is always recorded as the
+     * max overrun, but the slice only counts as an overrun once it exceeds a quarter of the budget.
+     */
+    public void runSlice(int budgetMillis) {
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(budgetMillis, 1));
+        long start = nanoClock.getAsLong();
+        long now = start;
+
+        while (now - start < budgetNanos) {
+            Task task = queue.peek();
+            if (task == null) {
+                break;
+            }
+            try {
+                if (task.step()) {
+                    queue.poll();
+                }
+            } catch (Exception e) {
+                log.warn("Scheduled task failed, dropping it", e);
+                queue.poll();
+            }
+            now = nanoClock.getAsLong();
+        }
+
+        long overrun = now - start - budgetNanos;
+        if (overrun <= 0) {
+            return;
+        }
+        maxOverrunNanos.accumulateAndGet(overrun, Math::max);
+        if (overrun > budgetNanos / OVERRUN_TOLERANCE_DIVISOR) {
+            overrunCount.incrementAndGet();
+            log.debug("Task slice overran budget by {}us ({} queued)",
+                    TimeUnit.NANOSECONDS.toMicros(overrun), queue.size());
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getOverrunCount() {
+        return overrunCount.get();
+    }
+
+    public long getMaxOverrunNanos() {
+        return maxOverrunNanos.get();
+    }
+
+    /**
+     * Drops all queued tasks. Metrics are kept; see {@link #resetMetrics()}.
+     */
+    public void clear() {
+        queue.clear();
+    }
+
+    public void resetMetrics() {
+        overrunCount.set(0);
+        maxOverrunNanos.set(0);
+    }
+}
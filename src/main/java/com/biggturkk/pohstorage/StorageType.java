@@ -7,5 +7,13 @@ public enum StorageType
     MAGIC_WARDROBE,
     CAPE_RACK,
     TREASURE_CHEST,
-    FANCY_DRESS_BOX
+    FANCY_DRESS_BOX;
+
+    /**
+     * @return single bit identifying this storage type in a per-item storage mask
+     */
+    public int mask()
+    {
+        return 1 << ordinal();
+    }
 }
\ No newline at end of file
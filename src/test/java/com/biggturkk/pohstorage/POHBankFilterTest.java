@@ -0,0 +1,75 @@
+package com.biggturkk.pohstorage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class POHBankFilterTest
+{
+	// Items from storable_items.json held by exactly one storage type
+	private static final int CAPE_RACK_ITEM = 9749;
+	private static final int ARMOUR_CASE_ITEM = 7362;
+
+	private POHBankFilter filter;
+
+	@Before
+	public void before()
+	{
+		filter = new POHBankFilter(new POHStorageItemManager());
+	}
+
+	@Test
+	public void testQueryMasks()
+	{
+		int all = 0;
+		for (StorageType type : StorageType.values())
+		{
+			all |= type.mask();
+		}
+
+		assertEquals(all, filter.getQueryMask("poh:"));
+		assertEquals(StorageType.CAPE_RACK.mask(), filter.getQueryMask("poh:cape"));
+		assertEquals(StorageType.CAPE_RACK.mask(), filter.getQueryMask("POH:Cape"));
+		assertEquals(0, filter.getQueryMask("poh:nothing"));
+	}
+
+	@Test
+	public void testIsFilterQuery()
+	{
+		assertTrue(filter.isFilterQuery("poh:"));
+		assertTrue(filter.isFilterQuery("Poh:cape"));
+		assertFalse(filter.isFilterQuery("cape"));
+		assertFalse(filter.isFilterQuery(null));
+	}
+
+	@Test
+	public void testMatches()
+	{
+		assertTrue(filter.matches(CAPE_RACK_ITEM, "poh:"));
+		assertTrue(filter.matches(CAPE_RACK_ITEM, "poh:cape"));
+		assertFalse(filter.matches(ARMOUR_CASE_ITEM, "poh:cape"));
+		assertFalse(filter.matches(CAPE_RACK_ITEM, "poh:nothing"));
+		assertFalse(filter.matches(-1, "poh:"));
+		assertFalse(filter.matches(Integer.MAX_VALUE, "poh:"));
+	}
+
+	@Test
+	public void testRebuildDropsStoredItems()
+	{
+		assertTrue(filter.isMissing(CAPE_RACK_ITEM));
+
+		filter.rebuild(Collections.singleton(CAPE_RACK_ITEM));
+
+		assertFalse(filter.isMissing(CAPE_RACK_ITEM));
+		assertFalse(filter.matches(CAPE_RACK_ITEM, "poh:cape"));
+		assertTrue(filter.isMissing(ARMOUR_CASE_ITEM));
+
+		filter.rebuild(Collections.emptySet());
+		assertTrue(filter.isMissing(CAPE_RACK_ITEM));
+	}
+}
@@ -0,0 +1,145 @@
+package com.biggturkk.pohstorage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class POHTaskSchedulerTest
+{
+	private POHTaskScheduler scheduler;
+
+	@Before
+	public void before()
+	{
+		scheduler = new POHTaskScheduler();
+	}
+
+	@Test
+	public void testSubmitEachRunsOneItemPerStep()
+	{
+		List<POHTaskScheduler.Task> submitted = new ArrayList<>();
+		POHTaskScheduler capturing = new POHTaskScheduler()
+		{
+			@Override
+			public void submit(Task task)
+			{
+				submitted.add(task);
+			}
+		};
+
+		List<Integer> processed = new ArrayList<>();
+		AtomicInteger completions = new AtomicInteger();
+		capturing.submitEach(Arrays.asList(1, 2, 3), processed::add, completions::incrementAndGet);
+		assertEquals(1, submitted.size());
+
+		POHTaskScheduler.Task task = submitted.get(0);
+		assertFalse(task.step());
+		assertEquals(Collections.singletonList(1), processed);
+		assertFalse(task.step());
+		assertFalse(task.step());
+		assertEquals(Arrays.asList(1, 2, 3), processed);
+		assertEquals(0, completions.get());
+
+		assertTrue(task.step());
+		assertEquals(1, completions.get());
+	}
+
+	@Test
+	public void testSubmitEachCompletesOnce()
+	{
+		List<Integer> processed = new ArrayList<>();
+		AtomicInteger completions = new AtomicInteger();
+		scheduler.submitEach(Arrays.asList(1, 2, 3), processed::add, completions::incrementAndGet);
+
+		scheduler.runSlice(1000);
+		scheduler.runSlice(1000);
+
+		assertEquals(Arrays.asList(1, 2, 3), processed);
+		assertEquals(1, completions.get());
+		assertEquals(0, scheduler.getQueueDepth());
+	}
+
+	@Test
+	public void testFailingTaskIsDropped()
+	{
+		AtomicInteger calls = new AtomicInteger();
+		AtomicInteger nextRan = new AtomicInteger();
+		scheduler.submit(() ->
+		{
+			calls.incrementAndGet();
+			throw new IllegalStateException("boom");
+		});
+		scheduler.submit(() ->
+		{
+			nextRan.incrementAndGet();
+			return true;
+		});
+
+		scheduler.runSlice(1000);
+
+		assertEquals(1, calls.get());
+		assertEquals(1, nextRan.get());
+		assertEquals(0, scheduler.getQueueDepth());
+	}
+
+	@Test
+	public void testSmallOvershootIsNotAnOverrun()
+	{
+		AtomicLong clock = new AtomicLong();
+		POHTaskScheduler timed = new POHTaskScheduler(clock::get);
+
+		// Never-ending task of 0.3ms steps; the 7th step ends 0.1ms past the 2ms budget
+		AtomicInteger steps = new AtomicInteger();
+		timed.submit(() ->
+		{
+			steps.incrementAndGet();
+			clock.addAndGet(MICROSECONDS.toNanos(300));
+			return false;
+		});
+
+		timed.runSlice(2);
+
+		assertEquals(7, steps.get());
+		assertEquals(0, timed.getOverrunCount());
+		assertEquals(MICROSECONDS.toNanos(100), timed.getMaxOverrunNanos());
+		assertEquals(1, timed.getQueueDepth());
+	}
+
+	@Test
+	public void testSliceOvershootIsAnOverrun()
+	{
+		AtomicLong clock = new AtomicLong();
+		POHTaskScheduler timed = new POHTaskScheduler(clock::get);
+
+		// No single 1.9ms step exceeds the 2ms budget, but two of them run the slice to 3.8ms
+		timed.submit(() ->
+		{
+			clock.addAndGet(MICROSECONDS.toNanos(1900));
+			return false;
+		});
+
+		timed.runSlice(2);
+
+		assertEquals(1, timed.getOverrunCount());
+		assertEquals(MICROSECONDS.toNanos(1800), timed.getMaxOverrunNanos());
+
+		// Clearing the queue keeps the metrics
+		timed.clear();
+		assertEquals(1, timed.getOverrunCount());
+
+		timed.resetMetrics();
+		assertEquals(0, timed.getOverrunCount());
+		assertEquals(0, timed.getMaxOverrunNanos());
+	}
+}